@@ -138,6 +138,66 @@ public class CamelToolMain implements Callable<Integer> {
             defaultValue = "9090")
     private int mcpPort;
 
+    @CommandLine.Option(
+            names = {"--http-max-connections"},
+            description = "Maximum number of pooled outbound HTTP connections shared by all routes",
+            defaultValue = "200")
+    private int httpMaxConnections;
+
+    @CommandLine.Option(
+            names = {"--http-max-connections-per-host"},
+            description = "Maximum number of pooled outbound HTTP connections to a single backend host",
+            defaultValue = "20")
+    private int httpMaxConnectionsPerHost;
+
+    @CommandLine.Option(
+            names = {"--endpoint-cache-size"},
+            description = "Maximum number of endpoints and producers cached for dynamic (toD) URIs",
+            defaultValue = "100")
+    private int endpointCacheSize;
+
+    @CommandLine.Option(
+            names = {"--http-pool-metrics-interval"},
+            description = "Interval, in seconds, for logging the outbound HTTP connection pool statistics (0 disables it)",
+            defaultValue = "0")
+    private int httpPoolMetricsInterval;
+
+    @CommandLine.Option(
+            names = {"--max-tool-result-size"},
+            description = "Maximum number of characters in a tool result (0 means unlimited)",
+            defaultValue = "0")
+    private int maxToolResultSize;
+
+    @CommandLine.Option(
+            names = {"--tool-result-overflow"},
+            description = "What to do with tool results larger than --max-tool-result-size: ${COMPLETION-CANDIDATES}",
+            defaultValue = "TRUNCATE")
+    private ToolResultConfiguration.OverflowPolicy toolResultOverflow;
+
+    @CommandLine.Option(
+            names = {"--spool-threshold"},
+            description = "Size, in bytes, above which streamed message bodies are spooled to disk (0 disables it)",
+            defaultValue = "0")
+    private long spoolThreshold;
+
+    @CommandLine.Option(
+            names = {"--warm-up-iterations"},
+            description = "Number of sample calls replayed against each ai-tool route at startup (0 disables it)",
+            defaultValue = "0")
+    private int warmUpIterations;
+
+    @CommandLine.Option(
+            names = {"--warm-up-samples"},
+            description = "Properties file with sample tool arguments for the warm-up (<tool-name>.<argument>=<value>)")
+    private String warmUpSamples;
+
+    @CommandLine.Option(
+            names = {"--warm-up-stub-producers"},
+            description = "Skip calls to external endpoints (i.e.: HTTP backends) and beans during the warm-up",
+            defaultValue = "true",
+            arity = "1")
+    private boolean warmUpStubProducers;
+
     public static void main(String[] args) {
         int exitCode = new CommandLine(new CamelToolMain()).execute(args);
         System.exit(exitCode);
@@ -169,8 +229,24 @@ public class CamelToolMain implements Callable<Integer> {
                 ? WanakuCamelManager.RouteLoadingFailurePolicy.FAIL_FAST
                 : WanakuCamelManager.RouteLoadingFailurePolicy.LOG_AND_CONTINUE;
 
-        WanakuCamelManager camelManager =
-                new WanakuCamelManager(downloadedResources, repositoriesList, mcpTags, mcpPort, policy);
+        final HttpClientPoolConfiguration httpClientPoolConfiguration = new HttpClientPoolConfiguration(
+                httpMaxConnections, httpMaxConnectionsPerHost, endpointCacheSize, httpPoolMetricsInterval);
+
+        final ToolResultConfiguration toolResultConfiguration =
+                new ToolResultConfiguration(maxToolResultSize, toolResultOverflow, spoolThreshold);
+
+        final WarmUpConfiguration warmUpConfiguration = new WarmUpConfiguration(
+                warmUpIterations, warmUpSamples != null ? Path.of(warmUpSamples) : null, warmUpStubProducers);
+
+        WanakuCamelManager camelManager = new WanakuCamelManager(
+                downloadedResources,
+                repositoriesList,
+                mcpTags,
+                mcpPort,
+                policy,
+                httpClientPoolConfiguration,
+                toolResultConfiguration,
+                warmUpConfiguration);
         camelManager.run();
 
         return 0;
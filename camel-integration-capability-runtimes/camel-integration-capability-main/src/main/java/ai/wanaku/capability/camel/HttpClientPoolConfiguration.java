@@ -0,0 +1,42 @@
+package ai.wanaku.capability.camel;
+
+/**
+ * Limits for the outbound HTTP client layer shared by all routes in a {@link WanakuCamelManager}.
+ *
+ * @param maxTotalConnections the maximum number of pooled connections across all backend hosts
+ * @param maxConnectionsPerHost the maximum number of pooled connections to a single backend host
+ * @param endpointCacheSize the maximum number of endpoints and producers cached for dynamic (toD) URIs
+ * @param metricsIntervalSeconds how often to log the pool statistics (0 disables the periodic log)
+ */
+public record HttpClientPoolConfiguration(
+        int maxTotalConnections, int maxConnectionsPerHost, int endpointCacheSize, int metricsIntervalSeconds) {
+
+    public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 200;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+    public static final int DEFAULT_ENDPOINT_CACHE_SIZE = 100;
+    public static final int DEFAULT_METRICS_INTERVAL_SECONDS = 0;
+
+    public HttpClientPoolConfiguration {
+        if (maxTotalConnections <= 0) {
+            throw new IllegalArgumentException("The maximum total connections must be greater than zero");
+        }
+        if (maxConnectionsPerHost <= 0 || maxConnectionsPerHost > maxTotalConnections) {
+            throw new IllegalArgumentException(
+                    "The maximum connections per host must be greater than zero and not exceed the total");
+        }
+        if (endpointCacheSize <= 0) {
+            throw new IllegalArgumentException("The endpoint cache size must be greater than zero");
+        }
+        if (metricsIntervalSeconds < 0) {
+            throw new IllegalArgumentException("The metrics interval must not be negative");
+        }
+    }
+
+    public static HttpClientPoolConfiguration defaults() {
+        return new HttpClientPoolConfiguration(
+                DEFAULT_MAX_TOTAL_CONNECTIONS,
+                DEFAULT_MAX_CONNECTIONS_PER_HOST,
+                DEFAULT_ENDPOINT_CACHE_SIZE,
+                DEFAULT_METRICS_INTERVAL_SECONDS);
+    }
+}
@@ -0,0 +1,317 @@
+package ai.wanaku.capability.camel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.PropertyConfigurer;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.support.PropertyBindingSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manages the outbound HTTP client layer of a Camel context.
+ *
+ * <p>By default, the Camel HTTP component creates a connection pool for every endpoint. Routes using {@code toD} with
+ * a distinct URI per call (i.e.: {@code https://api.example.com/employees/${header.employeeId}}) end up with one pool,
+ * and one set of connections, per URI. This class installs a single keep-alive connection pool on the {@code http}
+ * and {@code https} components, so that every endpoint, on every route, reuses the same bounded set of connections.
+ * It also bounds the endpoint and producer caches, so that memory does not grow with the number of distinct URIs.
+ *
+ * <p>The connect timeout, socket timeout and connection time to live of the component are applied to the shared pool.
+ * A component with its own connection manager or custom TLS settings ({@code sslContextParameters},
+ * {@code useGlobalSslContextParameters}, or a non-default {@code x509HostnameVerifier} or
+ * {@code hostnameVerificationPolicy}) keeps using its own pool, as does a component whose timeouts differ from the ones
+ * the shared pool was created with.
+ *
+ * <p>The HTTP component is a runtime dependency of the routes and is loaded through the Maven downloader class
+ * loader. Therefore, the Apache HttpClient types are resolved from the component's own class loader instead of being
+ * referenced directly.
+ */
+public class SharedHttpClientPool extends LifecycleStrategySupport {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedHttpClientPool.class);
+
+    private static final String CONNECTION_MANAGER_BUILDER =
+            "org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder";
+    private static final String CONNECTION_CONFIG = "org.apache.hc.client5.http.config.ConnectionConfig";
+    private static final String SOCKET_CONFIG = "org.apache.hc.core5.http.io.SocketConfig";
+    private static final String TIMEOUT = "org.apache.hc.core5.util.Timeout";
+    private static final String TIME_VALUE = "org.apache.hc.core5.util.TimeValue";
+    private static final String DEFAULT_HOSTNAME_VERIFIER = "org.apache.hc.client5.http.ssl.DefaultHostnameVerifier";
+    private static final String CONNECTION_MANAGER_OPTION = "clientConnectionManager";
+    private static final String HOSTNAME_VERIFICATION_POLICY_OPTION = "hostnameVerificationPolicy";
+
+    /**
+     * A snapshot of the pool usage
+     *
+     * @param leased the number of connections currently in use
+     * @param pending the number of requests waiting for a connection
+     * @param available the number of idle connections kept alive for reuse
+     * @param max the maximum number of connections in the pool
+     * @param cachedEndpoints the number of endpoints currently held by the context endpoint registry
+     */
+    public record PoolStats(int leased, int pending, int available, int max, int cachedEndpoints) {}
+
+    /*
+     * The HTTP component settings that camel-http applies to the connection manager it creates
+     */
+    private record ConnectionSettings(Object connectTimeout, Object soTimeout, Object timeToLive) {}
+
+    private final CamelContext context;
+    private final HttpClientPoolConfiguration configuration;
+    private Object connectionManager;
+    private ConnectionSettings connectionSettings;
+    private ScheduledExecutorService metricsExecutor;
+
+    private SharedHttpClientPool(CamelContext context, HttpClientPoolConfiguration configuration) {
+        this.context = context;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Installs the shared pool on the given context. This must be called before any route is added to the context.
+     *
+     * @param context the Camel context
+     * @param configuration the pool configuration
+     * @return the installed pool
+     */
+    public static SharedHttpClientPool install(CamelContext context, HttpClientPoolConfiguration configuration) {
+        Objects.requireNonNull(context, "CamelContext must not be null");
+        Objects.requireNonNull(configuration, "HttpClientPoolConfiguration must not be null");
+
+        final String cacheSize = String.valueOf(configuration.endpointCacheSize());
+        context.getGlobalOptions().put(Exchange.MAXIMUM_ENDPOINT_CACHE_SIZE, cacheSize);
+        context.getGlobalOptions().put(Exchange.MAXIMUM_CACHE_POOL_SIZE, cacheSize);
+
+        SharedHttpClientPool pool = new SharedHttpClientPool(context, configuration);
+        context.addLifecycleStrategy(pool);
+        return pool;
+    }
+
+    @Override
+    public synchronized void onComponentAdd(String name, Component component) {
+        if (!"http".equals(name) && !"https".equals(name)) {
+            return;
+        }
+
+        if (getOption(component, CONNECTION_MANAGER_OPTION) != null) {
+            LOG.info("The {} component already has a connection manager configured: not using the shared pool", name);
+            return;
+        }
+
+        final ConnectionSettings settings = new ConnectionSettings(
+                getOption(component, "connectTimeout"),
+                getOption(component, "soTimeout"),
+                getOption(component, "connectionTimeToLive"));
+
+        try {
+            if (hasTlsSettings(component)) {
+                LOG.info(
+                        "The {} component has custom TLS settings, which only apply to its own connection manager: "
+                                + "not using the shared pool",
+                        name);
+                return;
+            }
+
+            if (connectionManager == null) {
+                connectionManager = createConnectionManager(component.getClass().getClassLoader(), settings);
+                connectionSettings = settings;
+                LOG.info(
+                        "Created shared HTTP connection pool (max total: {}, max per host: {})",
+                        configuration.maxTotalConnections(),
+                        configuration.maxConnectionsPerHost());
+            } else if (!connectionSettings.equals(settings)) {
+                LOG.info(
+                        "The {} component timeouts differ from the ones of the shared pool ({}): "
+                                + "not using the shared pool",
+                        name,
+                        connectionSettings);
+                return;
+            }
+
+            PropertyBindingSupport.build()
+                    .withCamelContext(context)
+                    .withTarget(component)
+                    .withProperty(CONNECTION_MANAGER_OPTION, connectionManager)
+                    .withMandatory(true)
+                    .bind();
+            LOG.debug("The {} component is using the shared HTTP connection pool", name);
+        } catch (ClassNotFoundException e) {
+            LOG.warn("The {} component does not use Apache HttpClient 5: not using the shared pool", name);
+        } catch (Exception e) {
+            LOG.warn("Unable to set up the shared HTTP connection pool for the {} component: {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onContextStarted(CamelContext context) {
+        final int interval = configuration.metricsIntervalSeconds();
+        if (interval > 0) {
+            metricsExecutor =
+                    context.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "HttpPoolMetrics");
+            metricsExecutor.scheduleAtFixedRate(this::logStats, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void onContextStopped(CamelContext context) {
+        if (metricsExecutor != null) {
+            context.getExecutorServiceManager().shutdownNow(metricsExecutor);
+            metricsExecutor = null;
+        }
+
+        if (connectionManager instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close the shared HTTP connection pool: {}", e.getMessage());
+            }
+        }
+        connectionManager = null;
+        connectionSettings = null;
+    }
+
+    /**
+     * Gets the current pool usage
+     *
+     * @return the pool statistics or null if the shared pool has not been created (i.e.: no route uses HTTP)
+     */
+    public synchronized PoolStats getStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+
+        try {
+            Object stats = connectionManager.getClass().getMethod("getTotalStats").invoke(connectionManager);
+            return new PoolStats(
+                    intValue(stats, "getLeased"),
+                    intValue(stats, "getPending"),
+                    intValue(stats, "getAvailable"),
+                    intValue(stats, "getMax"),
+                    context.getEndpointRegistry().size());
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Unable to read the HTTP connection pool statistics: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void logStats() {
+        PoolStats stats = getStats();
+        if (stats != null) {
+            LOG.info(
+                    "HTTP connection pool: leased={}, pending={}, available={}, max={}, cached endpoints={}",
+                    stats.leased(),
+                    stats.pending(),
+                    stats.available(),
+                    stats.max(),
+                    stats.cachedEndpoints());
+        }
+    }
+
+    private static Object getOption(Component component, String option) {
+        PropertyConfigurer configurer = component.getComponentPropertyConfigurer();
+        if (configurer instanceof PropertyConfigurerGetter getter) {
+            return getter.getOptionValue(component, option, true);
+        }
+        return null;
+    }
+
+    /*
+     * The HTTP component always has a hostname verifier and a hostname verification policy, so these are only custom
+     * when they differ from the ones a new component is created with
+     */
+    private static boolean hasTlsSettings(Component component) throws ReflectiveOperationException {
+        if (Boolean.TRUE.equals(getOption(component, "useGlobalSslContextParameters"))
+                || getOption(component, "sslContextParameters") != null) {
+            return true;
+        }
+
+        final Object hostnameVerifier = getOption(component, "x509HostnameVerifier");
+        if (hostnameVerifier != null) {
+            final Class<?> defaultVerifierClass =
+                    Class.forName(DEFAULT_HOSTNAME_VERIFIER, false, component.getClass().getClassLoader());
+            if (!defaultVerifierClass.isInstance(hostnameVerifier)) {
+                return true;
+            }
+        }
+
+        final Object verificationPolicy = getOption(component, HOSTNAME_VERIFICATION_POLICY_OPTION);
+        if (verificationPolicy != null) {
+            final Component defaults = component.getClass().getDeclaredConstructor().newInstance();
+            return !verificationPolicy.equals(getOption(defaults, HOSTNAME_VERIFICATION_POLICY_OPTION));
+        }
+
+        return false;
+    }
+
+    /*
+     * Applies the same connection and socket settings that the HTTP component would apply to its own connection
+     * manager, so that they are not lost when the shared one is used instead
+     */
+    private Object createConnectionManager(ClassLoader classLoader, ConnectionSettings settings)
+            throws ReflectiveOperationException {
+        final Class<?> timeoutClass = Class.forName(TIMEOUT, true, classLoader);
+        final Class<?> timeValueClass = Class.forName(TIME_VALUE, true, classLoader);
+        final Object connectTimeout = toTimeValue(timeoutClass, settings.connectTimeout());
+        final Object soTimeout = toTimeValue(timeoutClass, settings.soTimeout());
+
+        final Class<?> connectionConfigClass = Class.forName(CONNECTION_CONFIG, true, classLoader);
+        final Object connectionConfigBuilder = connectionConfigClass.getMethod("custom").invoke(null);
+        final Class<?> connectionConfigBuilderClass = connectionConfigBuilder.getClass();
+        if (connectTimeout != null) {
+            connectionConfigBuilderClass
+                    .getMethod("setConnectTimeout", timeoutClass)
+                    .invoke(connectionConfigBuilder, connectTimeout);
+        }
+        if (soTimeout != null) {
+            connectionConfigBuilderClass
+                    .getMethod("setSocketTimeout", timeoutClass)
+                    .invoke(connectionConfigBuilder, soTimeout);
+        }
+        if (settings.timeToLive() instanceof Number ttl && ttl.longValue() > -1) {
+            connectionConfigBuilderClass
+                    .getMethod("setTimeToLive", timeValueClass)
+                    .invoke(connectionConfigBuilder, toTimeValue(timeValueClass, ttl));
+        }
+
+        final Class<?> socketConfigClass = Class.forName(SOCKET_CONFIG, true, classLoader);
+        final Object socketConfigBuilder = socketConfigClass.getMethod("custom").invoke(null);
+        if (soTimeout != null) {
+            socketConfigBuilder.getClass().getMethod("setSoTimeout", timeoutClass).invoke(socketConfigBuilder, soTimeout);
+        }
+
+        final Class<?> builderClass = Class.forName(CONNECTION_MANAGER_BUILDER, true, classLoader);
+        final Object builder = builderClass.getMethod("create").invoke(null);
+        builderClass.getMethod("setMaxConnTotal", int.class).invoke(builder, configuration.maxTotalConnections());
+        builderClass.getMethod("setMaxConnPerRoute", int.class).invoke(builder, configuration.maxConnectionsPerHost());
+        builderClass
+                .getMethod("setDefaultConnectionConfig", connectionConfigClass)
+                .invoke(builder, connectionConfigBuilderClass.getMethod("build").invoke(connectionConfigBuilder));
+        builderClass
+                .getMethod("setDefaultSocketConfig", socketConfigClass)
+                .invoke(builder, socketConfigBuilder.getClass().getMethod("build").invoke(socketConfigBuilder));
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    private static Object toTimeValue(Class<?> type, Object value) throws ReflectiveOperationException {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Number millis) {
+            return type.getMethod("ofMilliseconds", long.class).invoke(null, millis.longValue());
+        }
+        return null;
+    }
+
+    private static int intValue(Object target, String methodName) throws ReflectiveOperationException {
+        Method method = target.getClass().getMethod(methodName);
+        return (int) method.invoke(target);
+    }
+}
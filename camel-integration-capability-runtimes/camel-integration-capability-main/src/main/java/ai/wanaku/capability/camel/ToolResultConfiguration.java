@@ -0,0 +1,36 @@
+package ai.wanaku.capability.camel;
+
+import java.util.Objects;
+
+/**
+ * Limits applied to the results of the {@code ai-tool} routes before they are returned to the MCP client.
+ *
+ * @param maxResultSize the maximum number of characters in a tool result (0 means unlimited)
+ * @param overflowPolicy what to do with results larger than {@code maxResultSize}
+ * @param spoolThreshold the size, in bytes, above which streamed message bodies are spooled to disk instead of being
+ *     kept in memory (0 disables spooling)
+ */
+public record ToolResultConfiguration(int maxResultSize, OverflowPolicy overflowPolicy, long spoolThreshold) {
+
+    public enum OverflowPolicy {
+        TRUNCATE,
+        REJECT
+    }
+
+    public static final int DEFAULT_MAX_RESULT_SIZE = 0;
+    public static final long DEFAULT_SPOOL_THRESHOLD = 0;
+
+    public ToolResultConfiguration {
+        Objects.requireNonNull(overflowPolicy, "OverflowPolicy must not be null");
+        if (maxResultSize < 0) {
+            throw new IllegalArgumentException("The maximum tool result size must not be negative");
+        }
+        if (spoolThreshold < 0) {
+            throw new IllegalArgumentException("The spool threshold must not be negative");
+        }
+    }
+
+    public static ToolResultConfiguration defaults() {
+        return new ToolResultConfiguration(DEFAULT_MAX_RESULT_SIZE, OverflowPolicy.TRUNCATE, DEFAULT_SPOOL_THRESHOLD);
+    }
+}
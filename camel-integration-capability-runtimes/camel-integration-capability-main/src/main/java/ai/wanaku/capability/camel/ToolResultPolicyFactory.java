@@ -0,0 +1,154 @@
+package ai.wanaku.capability.camel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.RoutePolicySupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caps the size of the text results returned by the {@code ai-tool} routes.
+ *
+ * <p>This factory adds a policy to every {@code ai-tool} route that truncates or rejects text results (strings, byte
+ * arrays, streams and readers) larger than the configured number of characters. Stream and reader bodies are read up
+ * to the limit only. Other bodies (i.e.: POJOs or maps) are serialized by the MCP server itself and are not capped.
+ *
+ * <p>This is a cap on the result sent to the MCP client, not on the memory used by the routes: by default, Camel
+ * caches streamed bodies (such as HTTP responses) in memory, and routes converting the body to a String load it
+ * entirely anyway. The heap is only bounded for streamed bodies when a spool threshold is set, in which case bodies
+ * larger than the threshold are spooled to disk.
+ */
+public class ToolResultPolicyFactory implements RoutePolicyFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(ToolResultPolicyFactory.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ToolResultConfiguration configuration;
+
+    private ToolResultPolicyFactory(ToolResultConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Installs the tool result limits on the given context. This must be called before any route is added to the
+     * context.
+     *
+     * @param context the Camel context
+     * @param configuration the tool result configuration
+     */
+    public static void install(CamelContext context, ToolResultConfiguration configuration) {
+        Objects.requireNonNull(context, "CamelContext must not be null");
+        Objects.requireNonNull(configuration, "ToolResultConfiguration must not be null");
+
+        if (configuration.spoolThreshold() > 0) {
+            context.setStreamCaching(true);
+
+            StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+            strategy.setSpoolEnabled(true);
+            strategy.setSpoolThreshold(configuration.spoolThreshold());
+            LOG.info("Spooling message bodies larger than {} bytes to disk", configuration.spoolThreshold());
+        }
+
+        if (configuration.maxResultSize() > 0) {
+            context.addRoutePolicyFactory(new ToolResultPolicyFactory(configuration));
+            LOG.info(
+                    "Tool results larger than {} characters will be handled using the {} policy",
+                    configuration.maxResultSize(),
+                    configuration.overflowPolicy());
+        }
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(CamelContext camelContext, String routeId, NamedNode route) {
+        return new ToolResultPolicy();
+    }
+
+    private class ToolResultPolicy extends RoutePolicySupport {
+        private boolean aiTool;
+
+        @Override
+        public void onInit(Route route) {
+            aiTool = route.getEndpoint().getEndpointUri().startsWith(WanakuCamelManager.AI_TOOL_SCHEME);
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            if (!aiTool || exchange.isFailed()) {
+                return;
+            }
+
+            final Message message = exchange.getMessage();
+            final Object body = message.getBody();
+            final Charset charset = Charset.forName(ExchangeHelper.getCharsetName(exchange));
+
+            final String text;
+            try {
+                if (body instanceof String s) {
+                    text = s;
+                } else if (body instanceof byte[] bytes) {
+                    text = new String(bytes, charset);
+                } else if (body instanceof InputStream stream) {
+                    text = readBounded(new InputStreamReader(stream, charset));
+                } else if (body instanceof Reader reader) {
+                    text = readBounded(reader);
+                } else {
+                    // Other types (i.e.: POJOs) are serialized by the MCP server itself
+                    return;
+                }
+            } catch (IOException e) {
+                exchange.setException(e);
+                return;
+            }
+
+            final int maxResultSize = configuration.maxResultSize();
+            if (text.length() <= maxResultSize) {
+                message.setBody(text);
+                return;
+            }
+
+            if (configuration.overflowPolicy() == ToolResultConfiguration.OverflowPolicy.REJECT) {
+                LOG.warn("Rejecting the result of tool route {}: larger than {} characters", route.getId(), maxResultSize);
+                message.setBody(null);
+                exchange.setException(new CamelExchangeException(
+                        "The tool result exceeds the maximum size of " + maxResultSize + " characters", exchange));
+            } else {
+                LOG.debug("Truncating the result of tool route {} to {} characters", route.getId(), maxResultSize);
+                message.setBody(text.substring(0, maxResultSize)
+                        + "\n[truncated: the result exceeds the maximum size of " + maxResultSize + " characters]");
+            }
+        }
+
+        /*
+         * Reads at most one character past the limit, so that the remainder of a large stream is never loaded
+         */
+        private String readBounded(Reader source) throws IOException {
+            final int limit = configuration.maxResultSize() + 1;
+            final StringBuilder builder = new StringBuilder(Math.min(limit, BUFFER_SIZE));
+            final char[] buffer = new char[BUFFER_SIZE];
+
+            try (Reader reader = source) {
+                int read;
+                while (builder.length() < limit
+                        && (read = reader.read(buffer, 0, Math.min(buffer.length, limit - builder.length()))) != -1) {
+                    builder.append(buffer, 0, read);
+                }
+            }
+
+            return builder.toString();
+        }
+    }
+}
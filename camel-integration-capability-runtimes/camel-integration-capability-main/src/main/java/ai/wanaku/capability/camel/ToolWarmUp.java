@@ -0,0 +1,312 @@
+package ai.wanaku.capability.camel;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.model.BeanDefinition;
+import org.apache.camel.model.DynamicRouterDefinition;
+import org.apache.camel.model.EnrichDefinition;
+import org.apache.camel.model.PollEnrichDefinition;
+import org.apache.camel.model.RecipientListDefinition;
+import org.apache.camel.model.RoutingSlipDefinition;
+import org.apache.camel.model.SendDefinition;
+import org.apache.camel.model.ToDynamicDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.apache.camel.util.URISupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays sample calls against the {@code ai-tool} routes, so that class loading, endpoint creation and JIT
+ * compilation happen before the agents call the tools.
+ *
+ * <p>The arguments for each tool are read from the samples file, if one is configured, and synthesized from the tool
+ * parameter types otherwise. The {@code wanaku_body} argument is set as the message body, and the other arguments as
+ * headers.
+ *
+ * <p>When producer stubbing is enabled, the warm-up exchanges skip every call to an endpoint outside the Camel context
+ * (i.e.: HTTP backends, databases or brokers) made with {@code to} or {@code toD}, as well as every {@code bean},
+ * {@code enrich}, {@code pollEnrich}, {@code recipientList}, {@code routingSlip} and {@code dynamicRouter} step, whose
+ * targets are only known at runtime. The rest of the route still runs, including custom processors. A skipped step
+ * leaves the message body untouched, unless the samples file has a {@code <tool-name>.stub-response} entry, which is
+ * then used as the body, so that the steps parsing the backend response can be warmed up too.
+ */
+public class ToolWarmUp {
+    private static final Logger LOG = LoggerFactory.getLogger(ToolWarmUp.class);
+
+    /**
+     * Exchange property set on the warm-up exchanges
+     */
+    public static final String WARM_UP_PROPERTY = "CamelWanakuWarmUp";
+
+    /**
+     * Exchange property holding the body set by the stubbed steps of the warm-up exchanges
+     */
+    public static final String STUB_RESPONSE_PROPERTY = "CamelWanakuWarmUpStubResponse";
+
+    private static final String PARAMETER_PREFIX = "parameter.";
+    private static final String BODY_ARGUMENT = "wanaku_body";
+    private static final String STUB_RESPONSE_KEY = "stub-response";
+    private static final Set<String> INTERNAL_SCHEMES = Set.of("direct", "seda", "log", "language", "mock", "stub");
+
+    private final CamelContext context;
+    private final WarmUpConfiguration configuration;
+    private volatile boolean completed;
+
+    private ToolWarmUp(CamelContext context, WarmUpConfiguration configuration) {
+        this.context = context;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Installs the warm-up on the given context. This must be called before any route is added to the context, so
+     * that the producers can be stubbed.
+     *
+     * @param context the Camel context
+     * @param configuration the warm-up configuration
+     * @return the warm-up, which must be run after the context is started
+     */
+    public static ToolWarmUp install(CamelContext context, WarmUpConfiguration configuration) {
+        Objects.requireNonNull(context, "CamelContext must not be null");
+        Objects.requireNonNull(configuration, "WarmUpConfiguration must not be null");
+
+        if (configuration.iterations() > 0 && configuration.stubProducers()) {
+            context.getCamelContextExtension().addInterceptStrategy(new StubProducersStrategy());
+        }
+
+        return new ToolWarmUp(context, configuration);
+    }
+
+    /**
+     * Invokes each {@code ai-tool} route the configured number of times. Failures are logged and do not prevent the
+     * capability from starting.
+     */
+    public void run() {
+        if (configuration.iterations() <= 0) {
+            completed = true;
+            return;
+        }
+
+        final Properties samples = loadSamples();
+        final List<Route> toolRoutes = context.getRoutes().stream()
+                .filter(r -> r.getEndpoint().getEndpointUri().startsWith(WanakuCamelManager.AI_TOOL_SCHEME))
+                .toList();
+
+        LOG.info(
+                "Warming up {} tool route(s) with {} iteration(s) each", toolRoutes.size(), configuration.iterations());
+        final long start = System.currentTimeMillis();
+
+        for (Route route : toolRoutes) {
+            warmUp(route, samples);
+        }
+
+        LOG.info("Warm-up completed in {} ms", System.currentTimeMillis() - start);
+        completed = true;
+    }
+
+    /**
+     * Whether the warm-up has completed (or is disabled)
+     *
+     * @return true if completed or false otherwise
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void warmUp(Route route, Properties samples) {
+        final String endpointUri = route.getEndpoint().getEndpointUri();
+        final String toolName = toolName(endpointUri);
+        final Map<String, Object> arguments = arguments(toolName, endpointUri, samples);
+        final String stubResponse = samples.getProperty(toolName + "." + STUB_RESPONSE_KEY);
+        final Processor processor = route.getConsumer().getProcessor();
+
+        int failures = 0;
+        for (int i = 0; i < configuration.iterations(); i++) {
+            Exchange exchange = route.getEndpoint().createExchange();
+            exchange.setProperty(WARM_UP_PROPERTY, true);
+            if (stubResponse != null) {
+                exchange.setProperty(STUB_RESPONSE_PROPERTY, stubResponse);
+            }
+            setArguments(exchange, arguments);
+
+            try {
+                processor.process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (exchange.isFailed()) {
+                failures++;
+                LOG.debug(
+                        "Warm-up call to tool {} failed: {}",
+                        toolName,
+                        exchange.getException().getMessage(),
+                        exchange.getException());
+            }
+        }
+
+        if (failures > 0) {
+            LOG.info(
+                    "Warm-up of tool {} completed with {} failed call(s) out of {}",
+                    toolName,
+                    failures,
+                    configuration.iterations());
+        } else {
+            LOG.debug("Warm-up of tool {} completed", toolName);
+        }
+    }
+
+    /*
+     * Sets the arguments the same way the MCP server does for a real call
+     */
+    private static void setArguments(Exchange exchange, Map<String, Object> arguments) {
+        for (Map.Entry<String, Object> argument : arguments.entrySet()) {
+            if (BODY_ARGUMENT.equals(argument.getKey())) {
+                exchange.getMessage().setBody(argument.getValue());
+            } else {
+                exchange.getMessage().setHeader(argument.getKey(), argument.getValue());
+            }
+        }
+    }
+
+    private Properties loadSamples() {
+        final Properties samples = new Properties();
+        if (configuration.samplesPath() == null) {
+            return samples;
+        }
+
+        try (Reader reader = Files.newBufferedReader(configuration.samplesPath())) {
+            samples.load(reader);
+        } catch (IOException e) {
+            LOG.warn(
+                    "Unable to read the warm-up samples from {}: using synthetic arguments only: {}",
+                    configuration.samplesPath(),
+                    e.getMessage());
+            samples.clear();
+        }
+
+        return samples;
+    }
+
+    private static String toolName(String endpointUri) {
+        String name = endpointUri.substring(WanakuCamelManager.AI_TOOL_SCHEME.length());
+        if (name.startsWith("//")) {
+            name = name.substring(2);
+        }
+
+        final int queryStart = name.indexOf('?');
+        return queryStart >= 0 ? name.substring(0, queryStart) : name;
+    }
+
+    private static Map<String, Object> arguments(String toolName, String endpointUri, Properties samples) {
+        final Map<String, Object> arguments = new HashMap<>();
+
+        final int queryStart = endpointUri.indexOf('?');
+        if (queryStart >= 0) {
+            try {
+                Map<String, Object> parameters = URISupport.parseQuery(endpointUri.substring(queryStart + 1));
+                for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+                    final String key = entry.getKey();
+                    if (!key.startsWith(PARAMETER_PREFIX)) {
+                        continue;
+                    }
+
+                    // Skip the parameter attributes (i.e.: parameter.employeeId.description)
+                    final String argument = key.substring(PARAMETER_PREFIX.length());
+                    if (!argument.contains(".")) {
+                        arguments.put(argument, syntheticValue(String.valueOf(entry.getValue())));
+                    }
+                }
+            } catch (URISyntaxException e) {
+                LOG.warn("Unable to parse the parameters of tool {}: {}", toolName, e.getMessage());
+            }
+        }
+
+        final String samplePrefix = toolName + ".";
+        for (String key : samples.stringPropertyNames()) {
+            if (!key.startsWith(samplePrefix)) {
+                continue;
+            }
+
+            final String argument = key.substring(samplePrefix.length());
+            if (!STUB_RESPONSE_KEY.equals(argument)) {
+                arguments.put(argument, samples.getProperty(key));
+            }
+        }
+
+        return arguments;
+    }
+
+    private static Object syntheticValue(String type) {
+        return switch (type.toLowerCase()) {
+            case "int", "integer", "long" -> 1;
+            case "number", "double", "float" -> 1.0;
+            case "boolean" -> true;
+            default -> "warm-up";
+        };
+    }
+
+    private static class StubProducersStrategy implements InterceptStrategy {
+
+        @Override
+        public Processor wrapProcessorInInterceptors(
+                CamelContext context, NamedNode definition, Processor target, Processor nextTarget) {
+            if (!isExternalCall(definition)) {
+                return target;
+            }
+
+            return new DelegateAsyncProcessor(target) {
+                @Override
+                public boolean process(Exchange exchange, AsyncCallback callback) {
+                    if (exchange.getProperty(WARM_UP_PROPERTY, false, Boolean.class)) {
+                        final Object stubResponse = exchange.getProperty(STUB_RESPONSE_PROPERTY);
+                        if (stubResponse != null) {
+                            exchange.getMessage().setBody(stubResponse);
+                        }
+                        callback.done(true);
+                        return true;
+                    }
+                    return super.process(exchange, callback);
+                }
+            };
+        }
+
+        private static boolean isExternalCall(NamedNode definition) {
+            final String uri;
+            if (definition instanceof SendDefinition<?> send) {
+                uri = send.getEndpointUri();
+            } else if (definition instanceof ToDynamicDefinition toD) {
+                uri = toD.getUri();
+            } else {
+                // The targets of these steps are only known at runtime, or may have side effects
+                return definition instanceof BeanDefinition
+                        || definition instanceof EnrichDefinition
+                        || definition instanceof PollEnrichDefinition
+                        || definition instanceof RecipientListDefinition<?>
+                        || definition instanceof RoutingSlipDefinition<?>
+                        || definition instanceof DynamicRouterDefinition<?>;
+            }
+
+            return uri != null && !INTERNAL_SCHEMES.contains(scheme(uri));
+        }
+
+        private static String scheme(String uri) {
+            final int separator = uri.indexOf(':');
+            return separator >= 0 ? uri.substring(0, separator) : uri;
+        }
+    }
+}
@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mcp.server.McpServerBridge;
 import org.apache.camel.component.mcp.server.McpServerConfiguration;
 import org.apache.camel.component.platform.http.main.MainHttpServer;
@@ -24,6 +26,9 @@ import ai.wanaku.capabilities.sdk.runtime.camel.versions.RuntimeVersionHelper;
 public class WanakuCamelManager {
     private static final Logger LOG = LoggerFactory.getLogger(WanakuCamelManager.class);
 
+    static final String AI_TOOL_SCHEME = "ai-tool:";
+    static final String READINESS_PATH = "/ready";
+
     public enum RouteLoadingFailurePolicy {
         FAIL_FAST,
         LOG_AND_CONTINUE
@@ -32,6 +37,8 @@ public class WanakuCamelManager {
     private final CamelContext context;
     private final String routesPath;
     private final RouteLoadingFailurePolicy routeLoadingFailurePolicy;
+    private final SharedHttpClientPool httpClientPool;
+    private final ToolWarmUp warmUp;
     private final CountDownLatch shutdownLatch = new CountDownLatch(1);
 
     public WanakuCamelManager(
@@ -40,6 +47,26 @@ public class WanakuCamelManager {
             String mcpTags,
             int mcpPort,
             RouteLoadingFailurePolicy routeLoadingFailurePolicy) {
+        this(
+                downloadedResources,
+                repositoriesList,
+                mcpTags,
+                mcpPort,
+                routeLoadingFailurePolicy,
+                HttpClientPoolConfiguration.defaults(),
+                ToolResultConfiguration.defaults(),
+                WarmUpConfiguration.defaults());
+    }
+
+    public WanakuCamelManager(
+            Map<ResourceType, Path> downloadedResources,
+            String repositoriesList,
+            String mcpTags,
+            int mcpPort,
+            RouteLoadingFailurePolicy routeLoadingFailurePolicy,
+            HttpClientPoolConfiguration httpClientPoolConfiguration,
+            ToolResultConfiguration toolResultConfiguration,
+            WarmUpConfiguration warmUpConfiguration) {
         this.routeLoadingFailurePolicy =
                 Objects.requireNonNull(routeLoadingFailurePolicy, "RouteLoadingFailurePolicy must not be null");
 
@@ -66,6 +93,9 @@ public class WanakuCamelManager {
 
         context = new DefaultCamelContext();
         context.setApplicationContextClassLoader(mavenDownloader.getClassLoader());
+        httpClientPool = SharedHttpClientPool.install(context, httpClientPoolConfiguration);
+        ToolResultPolicyFactory.install(context, toolResultConfiguration);
+        warmUp = ToolWarmUp.install(context, warmUpConfiguration);
 
         if (mcpPort > 0) {
             setupMcpServer(mcpTags, mcpPort);
@@ -85,6 +115,20 @@ public class WanakuCamelManager {
                 mcpConfig.setTags(mcpTags);
             }
             context.addService(new McpServerBridge(mcpConfig));
+
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    // Reports DOWN until the warm-up completes, so that no traffic reaches cold tool routes
+                    from("platform-http:" + READINESS_PATH + "?httpMethodRestrict=GET")
+                            .routeId("wanaku-readiness")
+                            .process(exchange -> {
+                                final boolean ready = isReady();
+                                exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, ready ? 200 : 503);
+                                exchange.getMessage().setBody(ready ? "UP" : "DOWN");
+                            });
+                }
+            });
         } catch (Exception e) {
             throw new RuntimeException("Failed to setup MCP server", e);
         }
@@ -107,6 +151,7 @@ public class WanakuCamelManager {
         }
 
         context.start();
+        warmUp.run();
     }
 
     public void run() throws InterruptedException {
@@ -126,7 +171,20 @@ public class WanakuCamelManager {
         context.stop();
     }
 
+    /**
+     * Whether the capability is ready to serve traffic: the routes are started and the warm-up, if any, completed.
+     *
+     * @return true if ready or false otherwise
+     */
+    public boolean isReady() {
+        return context.isStarted() && warmUp.isCompleted();
+    }
+
     public CamelContext getCamelContext() {
         return context;
     }
+
+    public SharedHttpClientPool getHttpClientPool() {
+        return httpClientPool;
+    }
 }
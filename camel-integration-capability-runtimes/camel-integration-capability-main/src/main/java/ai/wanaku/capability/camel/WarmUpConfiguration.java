@@ -0,0 +1,33 @@
+package ai.wanaku.capability.camel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Settings for replaying sample calls against the {@code ai-tool} routes before the capability serves traffic.
+ *
+ * @param iterations how many times each tool is invoked (0 disables the warm-up)
+ * @param samplesPath an optional properties file with sample arguments, in the {@code <tool-name>.<argument>=<value>}
+ *     format, and stub responses, in the {@code <tool-name>.stub-response=<value>} format. Arguments not declared in
+ *     this file are synthesized from the tool parameter types
+ * @param stubProducers whether calls to external endpoints (i.e.: HTTP backends) and beans are skipped during the
+ *     warm-up
+ */
+public record WarmUpConfiguration(int iterations, Path samplesPath, boolean stubProducers) {
+
+    public static final int DEFAULT_ITERATIONS = 0;
+
+    public WarmUpConfiguration {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("The number of warm-up iterations must not be negative");
+        }
+        if (samplesPath != null && !Files.isReadable(samplesPath)) {
+            throw new IllegalArgumentException(
+                    "The warm-up samples file " + samplesPath + " does not exist or is not readable");
+        }
+    }
+
+    public static WarmUpConfiguration defaults() {
+        return new WarmUpConfiguration(DEFAULT_ITERATIONS, null, true);
+    }
+}
@@ -21,15 +21,20 @@ import java.nio.file.Path;
 import java.util.Map;
 import java.util.regex.Pattern;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.ServiceStatus;
+import org.apache.camel.spi.PropertyConfigurer;
+import org.apache.camel.spi.PropertyConfigurerGetter;
 import ai.wanaku.capabilities.sdk.runtime.camel.downloader.ResourceType;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class WanakuCamelRouteLoaderIT {
@@ -87,6 +92,36 @@ class WanakuCamelRouteLoaderIT {
                 "HTTP component should be available through DependencyDownloaderComponentResolver");
     }
 
+    @Test
+    void httpAndHttpsComponentsShareConnectionPool() {
+        CamelContext context = camelManager.getCamelContext();
+        Object httpConnectionManager = connectionManagerOf(context.getComponent("http"));
+        Object httpsConnectionManager = connectionManagerOf(context.getComponent("https"));
+
+        assertNotNull(httpConnectionManager, "The HTTP component should use the shared connection pool");
+        assertSame(
+                httpConnectionManager,
+                httpsConnectionManager,
+                "The HTTP and HTTPS components should share the same connection pool");
+
+        SharedHttpClientPool.PoolStats stats = camelManager.getHttpClientPool().getStats();
+        assertNotNull(stats, "The shared HTTP connection pool should be created once the HTTP component is added");
+        assertEquals(
+                HttpClientPoolConfiguration.DEFAULT_MAX_TOTAL_CONNECTIONS,
+                stats.max(),
+                "The shared HTTP connection pool should use the configured limit");
+        assertEquals(0, stats.leased(), "No connection should be leased while idle");
+    }
+
+    @Test
+    void endpointCacheIsBounded() {
+        CamelContext context = camelManager.getCamelContext();
+        assertEquals(
+                HttpClientPoolConfiguration.DEFAULT_ENDPOINT_CACHE_SIZE,
+                context.getEndpointRegistry().getMaximumCacheSize(),
+                "The endpoint registry should be bounded by the configured cache size");
+    }
+
     @Test
     void jsonPathLanguageIsAvailableThroughLanguageResolver() {
         CamelContext context = camelManager.getCamelContext();
@@ -156,4 +191,10 @@ class WanakuCamelRouteLoaderIT {
             lenientCamelManager.stop();
         }
     }
+
+    private static Object connectionManagerOf(Component component) {
+        PropertyConfigurer configurer = component.getComponentPropertyConfigurer();
+        assertInstanceOf(PropertyConfigurerGetter.class, configurer, "The component options should be readable");
+        return ((PropertyConfigurerGetter) configurer).getOptionValue(component, "clientConnectionManager", true);
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.wanaku.capability.camel;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import ai.wanaku.capabilities.sdk.runtime.camel.downloader.ResourceType;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WanakuHttpClientPoolIT {
+
+    private static final int MAX_TOTAL_CONNECTIONS = 4;
+    private static final int MAX_CONNECTIONS_PER_HOST = 2;
+    private static final int ENDPOINT_CACHE_SIZE = 10;
+    private static final int CALLS = 50;
+    private static final int CLIENT_THREADS = 8;
+    private static final String BACKEND_PORT_PROPERTY = "pool.backend.port";
+
+    private static final AtomicInteger activeRequests = new AtomicInteger();
+    private static final AtomicInteger peakActiveRequests = new AtomicInteger();
+    private static ExecutorService backendExecutor;
+    private static HttpServer backend;
+    private static WanakuCamelManager camelManager;
+    private static List<String> responses;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // The backend handles more requests in parallel than the pool allows, so the pool is the only limit
+        backendExecutor = Executors.newFixedThreadPool(CLIENT_THREADS * 2);
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.setExecutor(backendExecutor);
+        backend.createContext("/", exchange -> {
+            peakActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                byte[] body = exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeRequests.decrementAndGet();
+                exchange.close();
+            }
+        });
+        backend.start();
+        System.setProperty(BACKEND_PORT_PROPERTY, String.valueOf(backend.getAddress().getPort()));
+
+        Path routesFile = Path.of("src", "test", "resources", "test-http-pool-routes.camel.yaml");
+        Path dependenciesFile = Path.of("src", "test", "resources", "test-routes-dependencies.txt");
+
+        Map<ResourceType, Path> downloadedResources = Map.of(
+                ResourceType.ROUTES_REF, routesFile,
+                ResourceType.DEPENDENCY_REF, dependenciesFile);
+
+        camelManager = new WanakuCamelManager(
+                downloadedResources,
+                null,
+                null,
+                0,
+                WanakuCamelManager.RouteLoadingFailurePolicy.FAIL_FAST,
+                new HttpClientPoolConfiguration(
+                        MAX_TOTAL_CONNECTIONS, MAX_CONNECTIONS_PER_HOST, ENDPOINT_CACHE_SIZE, 0),
+                ToolResultConfiguration.defaults(),
+                WarmUpConfiguration.defaults());
+
+        // Each call targets a distinct URI, so each one creates a new dynamic endpoint
+        ProducerTemplate template = camelManager.getCamelContext().createProducerTemplate();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            List<Future<String>> calls = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                final int employeeId = i;
+                calls.add(clients.submit(() -> template.requestBodyAndHeader(
+                        "direct:call-backend", null, "employeeId", employeeId, String.class)));
+            }
+
+            responses = new ArrayList<>();
+            for (Future<String> call : calls) {
+                responses.add(call.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (camelManager != null) {
+            camelManager.stop();
+        }
+        if (backend != null) {
+            backend.stop(0);
+        }
+        if (backendExecutor != null) {
+            backendExecutor.shutdownNow();
+        }
+        System.clearProperty(BACKEND_PORT_PROPERTY);
+    }
+
+    @Test
+    void everyCallReachesItsBackendUri() {
+        assertEquals(CALLS, responses.size());
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals("/employee/" + i, responses.get(i));
+        }
+    }
+
+    @Test
+    void concurrentConnectionsAreBoundedByTheLimitPerHost() {
+        assertTrue(peakActiveRequests.get() > 0, "The backend should have been called");
+        assertTrue(
+                peakActiveRequests.get() <= MAX_CONNECTIONS_PER_HOST,
+                "The backend should never see more concurrent requests than the limit per host, but saw "
+                        + peakActiveRequests.get());
+    }
+
+    @Test
+    void connectionsAreReturnedToThePool() {
+        SharedHttpClientPool.PoolStats stats = camelManager.getHttpClientPool().getStats();
+
+        assertNotNull(stats, "The shared HTTP connection pool should be created once the HTTP component is added");
+        assertEquals(
+                MAX_TOTAL_CONNECTIONS, stats.max(), "The shared HTTP connection pool should use the configured limit");
+        assertEquals(0, stats.leased(), "No connection should remain leased once the calls complete");
+        assertEquals(0, stats.pending(), "No request should remain waiting for a connection");
+        assertTrue(
+                stats.available() <= MAX_CONNECTIONS_PER_HOST,
+                "A single backend host should never hold more pooled connections than the limit per host, but held "
+                        + stats.available());
+    }
+
+    @Test
+    void dynamicEndpointsAreEvictedBeyondTheCacheSize() {
+        CamelContext context = camelManager.getCamelContext();
+
+        assertEquals(ENDPOINT_CACHE_SIZE, context.getEndpointRegistry().getMaximumCacheSize());
+        assertTrue(
+                context.getEndpointRegistry().dynamicSize() <= ENDPOINT_CACHE_SIZE,
+                "The " + CALLS + " distinct URIs should not keep more than " + ENDPOINT_CACHE_SIZE
+                        + " dynamic endpoints, but kept " + context.getEndpointRegistry().dynamicSize());
+    }
+}
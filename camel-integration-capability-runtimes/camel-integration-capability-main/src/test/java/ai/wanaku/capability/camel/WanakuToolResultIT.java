@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.wanaku.capability.camel;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.camel.Exchange;
+import org.apache.camel.Route;
+import org.apache.camel.spi.StreamCachingStrategy;
+import ai.wanaku.capabilities.sdk.runtime.camel.downloader.ResourceType;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WanakuToolResultIT {
+
+    private static final int MAX_RESULT_SIZE = 16;
+    private static final long SPOOL_THRESHOLD = 1024;
+    private static final String TRUNCATION_NOTICE =
+            "\n[truncated: the result exceeds the maximum size of " + MAX_RESULT_SIZE + " characters]";
+
+    private static WanakuCamelManager camelManager;
+
+    @BeforeAll
+    static void setUp() {
+        camelManager = createManager(ToolResultConfiguration.OverflowPolicy.TRUNCATE, 0);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (camelManager != null) {
+            camelManager.stop();
+        }
+    }
+
+    @Test
+    void longTextResultIsTruncated() throws Exception {
+        Exchange exchange = invokeTool(camelManager, "ai-tool-long-text-result");
+
+        assertFalse(exchange.isFailed(), "A truncated result should not fail the exchange");
+        assertEquals("abcdefghijklmnop" + TRUNCATION_NOTICE, exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    void resultAtTheLimitIsNotTruncated() throws Exception {
+        Exchange exchange = invokeTool(camelManager, "ai-tool-exact-size-result");
+
+        assertFalse(exchange.isFailed(), "A result at the limit should not fail the exchange");
+        assertEquals("0123456789abcdef", exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    void longStreamResultIsReadUpToTheLimitUsingTheExchangeCharset() throws Exception {
+        Exchange exchange = invokeTool(camelManager, "ai-tool-long-stream-result");
+
+        assertFalse(exchange.isFailed(), "A truncated result should not fail the exchange");
+        assertEquals("é".repeat(MAX_RESULT_SIZE) + TRUNCATION_NOTICE, exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    void longReaderResultIsTruncated() throws Exception {
+        Exchange exchange = invokeTool(camelManager, "ai-tool-long-reader-result");
+
+        assertFalse(exchange.isFailed(), "A truncated result should not fail the exchange");
+        assertEquals("abcdefghijklmnop" + TRUNCATION_NOTICE, exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    void longResultIsRejected() throws Exception {
+        WanakuCamelManager rejectingCamelManager = createManager(ToolResultConfiguration.OverflowPolicy.REJECT, 0);
+
+        try {
+            Exchange exchange = invokeTool(rejectingCamelManager, "ai-tool-long-text-result");
+
+            assertTrue(exchange.isFailed(), "A result larger than the limit should fail the exchange");
+            assertTrue(
+                    exchange.getException().getMessage().contains("exceeds the maximum size of " + MAX_RESULT_SIZE),
+                    "Unexpected failure: " + exchange.getException().getMessage());
+
+            Exchange exactSize = invokeTool(rejectingCamelManager, "ai-tool-exact-size-result");
+            assertFalse(exactSize.isFailed(), "A result at the limit should not be rejected");
+        } finally {
+            rejectingCamelManager.stop();
+        }
+    }
+
+    @Test
+    void streamLargerThanTheSpoolThresholdIsSpooledToDisk() throws Exception {
+        WanakuCamelManager spoolingCamelManager =
+                createManager(ToolResultConfiguration.OverflowPolicy.TRUNCATE, SPOOL_THRESHOLD);
+
+        try {
+            StreamCachingStrategy strategy = spoolingCamelManager.getCamelContext().getStreamCachingStrategy();
+            strategy.getStatistics().setStatisticsEnabled(true);
+
+            byte[] input = "a".repeat((int) SPOOL_THRESHOLD * 4).getBytes(StandardCharsets.UTF_8);
+            Exchange exchange =
+                    invokeTool(spoolingCamelManager, "ai-tool-echo-result", new ByteArrayInputStream(input));
+
+            assertFalse(exchange.isFailed(), "A spooled result should not fail the exchange");
+            assertTrue(
+                    strategy.getStatistics().getCacheSpoolCounter() > 0,
+                    "A body larger than the spool threshold should be spooled to disk");
+            assertEquals("a".repeat(MAX_RESULT_SIZE) + TRUNCATION_NOTICE, exchange.getMessage().getBody(String.class));
+        } finally {
+            spoolingCamelManager.stop();
+        }
+    }
+
+    private static WanakuCamelManager createManager(
+            ToolResultConfiguration.OverflowPolicy overflowPolicy, long spoolThreshold) {
+        Path routesFile = Path.of("src", "test", "resources", "test-tool-result-routes.camel.yaml");
+        Map<ResourceType, Path> downloadedResources = Map.of(ResourceType.ROUTES_REF, routesFile);
+
+        return new WanakuCamelManager(
+                downloadedResources,
+                null,
+                null,
+                0,
+                WanakuCamelManager.RouteLoadingFailurePolicy.FAIL_FAST,
+                HttpClientPoolConfiguration.defaults(),
+                new ToolResultConfiguration(MAX_RESULT_SIZE, overflowPolicy, spoolThreshold),
+                WarmUpConfiguration.defaults());
+    }
+
+    private static Exchange invokeTool(WanakuCamelManager manager, String routeId) throws Exception {
+        return invokeTool(manager, routeId, null);
+    }
+
+    private static Exchange invokeTool(WanakuCamelManager manager, String routeId, Object body) throws Exception {
+        Route route = manager.getCamelContext().getRoute(routeId);
+        Exchange exchange = route.getEndpoint().createExchange();
+        exchange.getMessage().setBody(body);
+        route.getConsumer().getProcessor().process(exchange);
+        return exchange;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.wanaku.capability.camel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.ConsumerTemplate;
+import org.apache.camel.Exchange;
+import ai.wanaku.capabilities.sdk.runtime.camel.downloader.ResourceType;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WanakuToolWarmUpIT {
+
+    private static final int ITERATIONS = 5;
+    private static final String BACKEND_PORT_PROPERTY = "warm-up.backend.port";
+
+    private static final String STUB_RESPONSE = "{\"name\":\"John Doe\"}";
+
+    private static final AtomicInteger backendCalls = new AtomicInteger();
+    private static final AtomicInteger beanCalls = new AtomicInteger();
+    private static HttpServer backend;
+    private static WanakuCamelManager camelManager;
+    private static List<Exchange> warmUpCalls;
+    private static List<Exchange> warmUpGreetings;
+
+    /**
+     * Called by the bean step of the warm-up routes, which should be stubbed
+     */
+    public static void recordBeanCall() {
+        beanCalls.incrementAndGet();
+    }
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.createContext("/", exchange -> {
+            backendCalls.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        backend.start();
+        System.setProperty(BACKEND_PORT_PROPERTY, String.valueOf(backend.getAddress().getPort()));
+
+        Path routesFile = Path.of("src", "test", "resources", "test-warm-up-routes.camel.yaml");
+        Path dependenciesFile = Path.of("src", "test", "resources", "test-routes-dependencies.txt");
+        Path samplesFile = Path.of("src", "test", "resources", "test-warm-up-samples.properties");
+
+        Map<ResourceType, Path> downloadedResources = Map.of(
+                ResourceType.ROUTES_REF, routesFile,
+                ResourceType.DEPENDENCY_REF, dependenciesFile);
+
+        camelManager = new WanakuCamelManager(
+                downloadedResources,
+                null,
+                null,
+                0,
+                WanakuCamelManager.RouteLoadingFailurePolicy.FAIL_FAST,
+                HttpClientPoolConfiguration.defaults(),
+                ToolResultConfiguration.defaults(),
+                new WarmUpConfiguration(ITERATIONS, samplesFile, true));
+
+        ConsumerTemplate consumer = camelManager.getCamelContext().createConsumerTemplate();
+        warmUpCalls = drain(consumer, "seda:warm-up-calls");
+        warmUpGreetings = drain(consumer, "seda:warm-up-greetings");
+    }
+
+    private static List<Exchange> drain(ConsumerTemplate consumer, String endpointUri) {
+        List<Exchange> exchanges = new ArrayList<>();
+        Exchange exchange;
+        while ((exchange = consumer.receive(endpointUri, 1000)) != null) {
+            exchanges.add(exchange);
+        }
+        return exchanges;
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (camelManager != null) {
+            camelManager.stop();
+        }
+        if (backend != null) {
+            backend.stop(0);
+        }
+        System.clearProperty(BACKEND_PORT_PROPERTY);
+    }
+
+    @Test
+    void isReadyAfterWarmUp() {
+        assertTrue(camelManager.isReady(), "The capability should be ready once the warm-up completes");
+    }
+
+    @Test
+    void internalSubRouteRunsForEachIteration() {
+        assertEquals(ITERATIONS, warmUpCalls.size(), "The direct: sub-route should run once per warm-up iteration");
+    }
+
+    @Test
+    void externalProducersAreStubbed() {
+        assertEquals(
+                0,
+                backendCalls.get(),
+                "The stubbed to, toD, enrich and recipientList steps should never call the backend");
+    }
+
+    @Test
+    void beansAreStubbed() {
+        assertEquals(0, beanCalls.get(), "The stubbed bean step should never be called");
+    }
+
+    @Test
+    void stubbedStepsReturnTheStubResponse() {
+        for (Exchange exchange : warmUpCalls) {
+            assertEquals(STUB_RESPONSE, exchange.getMessage().getHeader("BACKEND_RESPONSE", String.class));
+            assertNull(
+                    exchange.getMessage().getHeader("stub-response"), "The stub response should not be an argument");
+        }
+    }
+
+    @Test
+    void bodyArgumentIsSetAsTheMessageBody() {
+        assertEquals(ITERATIONS, warmUpGreetings.size(), "The say-hello tool should run once per warm-up iteration");
+        for (Exchange exchange : warmUpGreetings) {
+            assertEquals("Hello from the warm-up", exchange.getMessage().getHeader("GREETING", String.class));
+            assertNull(
+                    exchange.getMessage().getHeader("wanaku_body"), "The body argument should not be set as a header");
+        }
+    }
+
+    @Test
+    void sampleArgumentsOverrideSyntheticOnes() {
+        for (Exchange exchange : warmUpCalls) {
+            assertEquals("42", exchange.getMessage().getHeader("employeeId", String.class));
+            assertEquals("42", exchange.getMessage().getHeader("EMPLOYEE_ID", String.class));
+        }
+    }
+
+    @Test
+    void missingArgumentsAreSynthesizedFromTheParameterTypes() {
+        for (Exchange exchange : warmUpCalls) {
+            assertEquals(Boolean.TRUE, exchange.getMessage().getHeader("active", Boolean.class));
+            assertNull(
+                    exchange.getMessage().getHeader("employeeId.description"),
+                    "Parameter attributes should not be used as arguments");
+            assertTrue(
+                    exchange.getProperty(ToolWarmUp.WARM_UP_PROPERTY, false, Boolean.class),
+                    "Warm-up exchanges should be flagged");
+        }
+    }
+
+    @Test
+    void isNotReadyWhileTheWarmUpRuns() throws Exception {
+        int mcpPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            mcpPort = socket.getLocalPort();
+        }
+
+        Path routesFile = Path.of("src", "test", "resources", "test-warm-up-readiness-routes.camel.yaml");
+        Path dependenciesFile = Path.of("src", "test", "resources", "test-routes-dependencies.txt");
+
+        Map<ResourceType, Path> downloadedResources = Map.of(
+                ResourceType.ROUTES_REF, routesFile,
+                ResourceType.DEPENDENCY_REF, dependenciesFile);
+
+        // The constructor starts the context and runs the warm-up, which takes about 2 seconds with this route
+        CompletableFuture<WanakuCamelManager> starting = CompletableFuture.supplyAsync(() -> new WanakuCamelManager(
+                downloadedResources,
+                null,
+                null,
+                mcpPort,
+                WanakuCamelManager.RouteLoadingFailurePolicy.FAIL_FAST,
+                HttpClientPoolConfiguration.defaults(),
+                ToolResultConfiguration.defaults(),
+                new WarmUpConfiguration(20, null, true)));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + mcpPort + "/ready"))
+                .GET()
+                .build();
+
+        Set<Integer> statusesWhileStarting = new HashSet<>();
+        while (!starting.isDone()) {
+            try {
+                statusesWhileStarting.add(client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (IOException e) {
+                // The HTTP server is not listening yet
+            }
+            Thread.sleep(20);
+        }
+
+        WanakuCamelManager readinessCamelManager = starting.get(30, TimeUnit.SECONDS);
+        try {
+            assertTrue(
+                    statusesWhileStarting.contains(503),
+                    "The readiness endpoint should report 503 while the warm-up runs, but reported "
+                            + statusesWhileStarting);
+
+            HttpResponse<String> response = client.send(readiness, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), "The readiness endpoint should report 200 after the warm-up");
+            assertEquals("UP", response.body());
+        } finally {
+            readinessCamelManager.stop();
+        }
+    }
+
+    @Test
+    void missingSamplesFileIsRejected() {
+        Path missingFile = Path.of("src", "test", "resources", "missing-warm-up-samples.properties");
+
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> new WarmUpConfiguration(1, missingFile, true));
+        assertTrue(e.getMessage().contains(missingFile.toString()), "The error should name the samples file");
+    }
+}